@@ -1,5 +1,6 @@
 package com.lambdacodingsolutions.repository;
 
+import co.elastic.clients.elasticsearch._types.Time;
 import co.elastic.clients.elasticsearch._types.mapping.LongNumberProperty;
 import co.elastic.clients.elasticsearch._types.mapping.Property;
 import co.elastic.clients.elasticsearch._types.mapping.TextProperty;
@@ -11,9 +12,13 @@ import co.elastic.clients.elasticsearch.core.SearchTemplateRequest;
 import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
 import co.elastic.clients.elasticsearch.core.bulk.DeleteOperation;
 import co.elastic.clients.elasticsearch.core.mget.MultiGetOperation;
+import co.elastic.clients.elasticsearch.indices.Alias;
 import co.elastic.clients.elasticsearch.indices.CreateIndexRequest;
 import co.elastic.clients.elasticsearch.indices.DeleteIndexRequest;
 import co.elastic.clients.elasticsearch.indices.ExistsRequest;
+import co.elastic.clients.elasticsearch.indices.GetAliasRequest;
+import co.elastic.clients.elasticsearch.indices.RolloverRequest;
+import co.elastic.clients.elasticsearch.indices.rollover.RolloverConditions;
 import co.elastic.clients.json.JsonData;
 import com.lambdacodingsolutions.model.ElasticProperty;
 import java.util.Arrays;
@@ -36,16 +41,57 @@ public class ElasticsearchClientRequestFactory {
    * @return the index request with a properties map for the class of the document
    */
   public static CreateIndexRequest createCreateIndexRequest(String index, Class clasz) {
-    TypeMapping typeMapping = new TypeMapping.Builder()
-        .properties(getClassElasticPropertiesMap(clasz))
+    return new CreateIndexRequest.Builder()
+        .mappings(createTypeMapping(clasz))
+        .index(index)
         .build();
+  }
 
+  /**
+   * Create an index request for the first generation of a rolling index
+   * @param index the name of the generation
+   * @param alias the alias through which the generations are written and read
+   * @param clasz the class of the object to be indexed
+   * @return the index request with the generation marked as the write index of the alias
+   */
+  public static CreateIndexRequest createCreateRollingIndexRequest(String index, String alias, Class clasz) {
     return new CreateIndexRequest.Builder()
-        .mappings(typeMapping)
+        .mappings(createTypeMapping(clasz))
+        .aliases(alias, new Alias.Builder()
+            .isWriteIndex(true)
+            .build())
         .index(index)
         .build();
   }
 
+  /**
+   * Create a rollover request for a rolling index
+   * @param alias the write alias of the rolling index
+   * @param newIndex the name of the next generation
+   * @param clasz the class of the object to be indexed
+   * @param maxAge optional, the max age of the current generation (e.g. 1d)
+   * @param maxDocs optional, the max number of documents in the current generation
+   * @return the rollover request, unconditional if no condition is given
+   */
+  public static RolloverRequest createRolloverRequest(String alias, String newIndex, Class clasz,
+      String maxAge, Long maxDocs) {
+    RolloverRequest.Builder rolloverBuilder = new RolloverRequest.Builder()
+        .alias(alias)
+        .newIndex(newIndex)
+        .mappings(createTypeMapping(clasz));
+    if (Objects.nonNull(maxAge) || Objects.nonNull(maxDocs)) {
+      RolloverConditions.Builder conditionsBuilder = new RolloverConditions.Builder();
+      if (Objects.nonNull(maxAge)) {
+        conditionsBuilder.maxAge(new Time.Builder().time(maxAge).build());
+      }
+      if (Objects.nonNull(maxDocs)) {
+        conditionsBuilder.maxDocs(maxDocs);
+      }
+      rolloverBuilder.conditions(conditionsBuilder.build());
+    }
+    return rolloverBuilder.build();
+  }
+
   /**
    * Create an index for a given document
    * @param index the index name
@@ -95,6 +141,23 @@ public class ElasticsearchClientRequestFactory {
     return searchTemplateBuilder.build();
   }
 
+  /**
+   * Create a search by template request across multiple indices
+   * @param indices the indices on which we use the template to find the given document
+   * @param query the template query for the search
+   * @param params the params for the query (if any are given)
+   * @return the request for the client
+   */
+  public static SearchTemplateRequest createSearchTemplateRequest(List<String> indices, String query, Map<String, JsonData> params) {
+    SearchTemplateRequest.Builder searchTemplateBuilder = new SearchTemplateRequest.Builder()
+        .source(query)
+        .index(indices);
+    if (Objects.nonNull(params)) {
+      searchTemplateBuilder.params(params);
+    }
+    return searchTemplateBuilder.build();
+  }
+
   /**
    * Deletes a given index
    * @param indexName the name of the index to be deleted
@@ -117,6 +180,17 @@ public class ElasticsearchClientRequestFactory {
         .build();
   }
 
+  /**
+   * Creates a get alias request
+   * @param alias the name of the alias
+   * @return the request to fetch the indices behind an alias
+   */
+  public static GetAliasRequest createGetAliasRequest(String alias){
+    return new GetAliasRequest.Builder()
+        .name(alias)
+        .build();
+  }
+
   /**
    * Creates a bulk delete request
    * @param index the index on which we remove the given documents
@@ -145,6 +219,17 @@ public class ElasticsearchClientRequestFactory {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Builds the mappings for an index holding documents of a given class
+   * @param clasz the class of the documents to be indexed
+   * @return the type mapping with the properties map of the class
+   */
+  private static TypeMapping createTypeMapping(Class clasz) {
+    return new TypeMapping.Builder()
+        .properties(getClassElasticPropertiesMap(clasz))
+        .build();
+  }
+
   /**
    * Builds the properties map for in index request for a given class
    * @param clasz the class of the documents to be indexed
@@ -2,6 +2,7 @@ package com.lambdacodingsolutions.repository;
 
 import co.elastic.clients.json.JsonData;
 import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -16,6 +17,23 @@ public interface ElasticsearchRepository<T> {
    */
   void createIndex(String indexName) throws IOException;
 
+  /**
+   * Create a rolling index: a first generation written and read through the given alias
+   * @param alias the name of the alias for the generations
+   */
+  void createRollingIndex(String alias) throws IOException;
+
+  /**
+   * Roll the alias over to a new generation if any of the given conditions is met
+   * (throws if the alias doesn't exist or its write index isn't a generation)
+   * @param alias the write alias of the rolling index
+   * @param maxAge optional, the max age of the current generation (e.g. 1d)
+   * @param maxDocs optional, the max number of documents in the current generation
+   * @return true, if a new generation was created, false if the conditions weren't met or
+   * another writer created the next generation first
+   */
+  boolean rollover(String alias, String maxAge, Long maxDocs) throws IOException;
+
   /**
    * Check if an index exists
    * @param indexName the name of the searched for index
@@ -49,6 +67,32 @@ public interface ElasticsearchRepository<T> {
   List<T> findByTemplate(String indexName, String template, Map<String, JsonData> params)
       throws IOException;
 
+  /**
+   * Find entities by template only on the generations of a rolling index overlapping the time range
+   * (throws if the alias doesn't exist).
+   * Generations are matched by the day the documents were written, not by their event time:
+   * late or backfilled events land in the current write generation and are missed by a range
+   * ending before it was created. The template itself is still responsible for filtering
+   * documents by time within the searched generations.
+   * @param alias the alias of the rolling index
+   * @param template the template (@see elastic search templates)
+   * @param params optional, the template params
+   * @param from optional, the start of the time range
+   * @param to optional, the end of the time range
+   * @return the found entities
+   */
+  List<T> findByTemplate(String alias, String template, Map<String, JsonData> params,
+      Instant from, Instant to) throws IOException;
+
+  /**
+   * Delete the generations of a rolling index holding only documents older than the cutoff
+   * (the current write generation is never deleted, throws if the alias doesn't exist)
+   * @param alias the alias of the rolling index
+   * @param cutoff the retention limit
+   * @return the number of generations deleted
+   */
+  int deleteExpiredIndices(String alias, Instant cutoff) throws IOException;
+
   /**
    * @param index the name of the index to be deleted
    * @return true, operation was successful, false otherwise
@@ -1,12 +1,14 @@
 package com.lambdacodingsolutions.repository;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
 import co.elastic.clients.elasticsearch.core.*;
 import co.elastic.clients.elasticsearch.core.get.GetResult;
 import co.elastic.clients.elasticsearch.core.mget.MultiGetResponseItem;
 import co.elastic.clients.elasticsearch.core.search.Hit;
 import co.elastic.clients.elasticsearch.indices.ExistsRequest;
 import co.elastic.clients.elasticsearch.indices.*;
+import co.elastic.clients.elasticsearch.indices.get_alias.IndexAliases;
 import co.elastic.clients.json.JsonData;
 import co.elastic.clients.transport.endpoints.BooleanResponse;
 import com.lambdacodingsolutions.model.Book;
@@ -15,23 +17,34 @@ import com.sun.org.slf4j.internal.LoggerFactory;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
+ * Caches the known indices, not the generations behind a rolling index alias.
  * @author Andrada Radu on 16.03.2022
  */
 public class ElasticsearchRepositoryImpl<T> implements ElasticsearchRepository<T>, Closeable {
 
     private static final Logger LOG = LoggerFactory.getLogger(ElasticsearchRepositoryImpl.class);
+    private static final String RESOURCE_ALREADY_EXISTS = "resource_already_exists_exception";
 
     private final ElasticsearchClient elasticsearchClient;
     private final Class entityClass;
 
     private final ElasticsearchClientRequestFactory requestFactory = new ElasticsearchClientRequestFactory();
 
+    private final Set<String> knownIndices = ConcurrentHashMap.newKeySet();
+
     public ElasticsearchRepositoryImpl(ElasticsearchClient elasticsearchClient,
                                        Class entityClass) {
         this.elasticsearchClient = elasticsearchClient;
@@ -49,6 +62,54 @@ public class ElasticsearchRepositoryImpl<T> implements ElasticsearchRepository<T
         if (Boolean.FALSE.equals(response.acknowledged())) {
             LOG.error("Request failed");
         }
+        knownIndices.add(indexName);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createRollingIndex(String alias) throws IOException {
+        String indexName = RollingIndexGenerations.name(alias, LocalDate.now(ZoneOffset.UTC), 1);
+        LOG.debug("Creating rolling index: {}, for alias: {}", indexName, alias);
+        CreateIndexRequest request = ElasticsearchClientRequestFactory.createCreateRollingIndexRequest(indexName, alias, entityClass);
+        CreateIndexResponse response = elasticsearchClient.indices().create(request);
+        if (Boolean.FALSE.equals(response.acknowledged())) {
+            LOG.error("Request failed");
+        }
+        knownIndices.add(indexName);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean rollover(String alias, String maxAge, Long maxDocs) throws IOException {
+        LOG.debug("Rolling over alias: {}, with max age: {} and max docs: {}", alias, maxAge, maxDocs);
+        Optional<String> writeIndex = getAliasIndices(alias).entrySet().stream()
+                .filter(e -> Objects.nonNull(e.getValue().aliases().get(alias)))
+                .filter(e -> Boolean.TRUE.equals(e.getValue().aliases().get(alias).isWriteIndex()))
+                .map(Map.Entry::getKey)
+                .findFirst();
+        if (!writeIndex.isPresent() || !RollingIndexGenerations.isGeneration(alias, writeIndex.get())) {
+            throw new IllegalStateException("The alias: " + alias + " has no rolling write index");
+        }
+        String newIndex = RollingIndexGenerations.next(alias, writeIndex.get());
+        RolloverRequest request = ElasticsearchClientRequestFactory.createRolloverRequest(alias, newIndex, entityClass, maxAge, maxDocs);
+        RolloverResponse response;
+        try {
+            response = elasticsearchClient.indices().rollover(request);
+        } catch (ElasticsearchException e) {
+            if (!RESOURCE_ALREADY_EXISTS.equals(e.error().type())) {
+                throw e;
+            }
+            LOG.debug("The index: {} was already created by another writer", newIndex);
+            return false;
+        }
+        if (response.rolledOver()) {
+            knownIndices.add(response.newIndex());
+        }
+        return response.rolledOver();
     }
 
     /**
@@ -59,6 +120,11 @@ public class ElasticsearchRepositoryImpl<T> implements ElasticsearchRepository<T
         LOG.debug("Checking if index {} exists", indexName);
         ExistsRequest request = ElasticsearchClientRequestFactory.createExistsRequest(indexName);
         BooleanResponse response = elasticsearchClient.indices().exists(request);
+        if (response.value()) {
+            knownIndices.add(indexName);
+        } else {
+            knownIndices.remove(indexName);
+        }
         return response.value();
     }
 
@@ -102,18 +168,60 @@ public class ElasticsearchRepositoryImpl<T> implements ElasticsearchRepository<T
         return response.hits().hits().stream().map(Hit::source).collect(Collectors.toList());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<T> findByTemplate(String alias, String template, Map<String, JsonData> params,
+                                  Instant from, Instant to) throws IOException {
+        LOG.debug("Search by template: {} on alias: {} from: {} to: {} with params: {}", template, alias, from, to, params);
+        List<String> indices = RollingIndexGenerations.overlapping(alias, getGenerations(alias), from, to);
+        if (indices.isEmpty()) {
+            LOG.debug("No generation of alias: {} overlaps the time range", alias);
+            return Collections.emptyList();
+        }
+        SearchTemplateRequest request = ElasticsearchClientRequestFactory.createSearchTemplateRequest(indices, template, params);
+        SearchTemplateResponse<T> response = elasticsearchClient.searchTemplate(request, entityClass);
+        return response.hits().hits().stream().map(Hit::source).collect(Collectors.toList());
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public boolean deleteIndex(String index) throws IOException {
         LOG.debug("Deleting index: {}", index);
-        if (Boolean.FALSE.equals(indexExists(index))) {
+        if (!knownIndices.contains(index) && Boolean.FALSE.equals(indexExists(index))) {
             LOG.error("The index: {} doesn't exist", index);
         }
         DeleteIndexRequest request = ElasticsearchClientRequestFactory.createDeleteIndexRequest(index);
-        DeleteIndexResponse response = elasticsearchClient.indices().delete(request);
-        return response.acknowledged();
+        try {
+            DeleteIndexResponse response = elasticsearchClient.indices().delete(request);
+            return response.acknowledged();
+        } catch (ElasticsearchException e) {
+            if (e.status() != 404) {
+                throw e;
+            }
+            LOG.error("The index: {} was already deleted", index);
+            return false;
+        } finally {
+            knownIndices.remove(index);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteExpiredIndices(String alias, Instant cutoff) throws IOException {
+        LOG.debug("Deleting generations of alias: {} older than: {}", alias, cutoff);
+        int deleted = 0;
+        for (String generation : RollingIndexGenerations.expired(alias, getGenerations(alias), cutoff)) {
+            if (deleteIndex(generation)) {
+                deleted++;
+            }
+        }
+        return deleted;
     }
 
     /**
@@ -127,6 +235,34 @@ public class ElasticsearchRepositoryImpl<T> implements ElasticsearchRepository<T
         return response.items().size();
     }
 
+    /**
+     * Gets the indices behind an alias, with the alias definitions of each index
+     * @param alias the name of the alias
+     * @return the indices by name, throws if the alias doesn't exist
+     */
+    private Map<String, IndexAliases> getAliasIndices(String alias) throws IOException {
+        GetAliasRequest request = ElasticsearchClientRequestFactory.createGetAliasRequest(alias);
+        try {
+            Map<String, IndexAliases> indices = elasticsearchClient.indices().getAlias(request).result();
+            knownIndices.addAll(indices.keySet());
+            return indices;
+        } catch (ElasticsearchException e) {
+            if (e.status() != 404) {
+                throw e;
+            }
+            throw new IllegalArgumentException("The alias: " + alias + " doesn't exist", e);
+        }
+    }
+
+    /**
+     * Gets the generations behind a rolling index alias, oldest first
+     * @param alias the alias of the rolling index
+     * @return the generation names, throws if the alias doesn't exist
+     */
+    private List<String> getGenerations(String alias) throws IOException {
+        return RollingIndexGenerations.sort(alias, getAliasIndices(alias).keySet());
+    }
+
     /**
      * Closes the connection to the ES client
      */
@@ -0,0 +1,160 @@
+package com.lambdacodingsolutions.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Naming and time ranges of the generations of a rolling index.
+ * Generations are named {alias}-{yyyy.MM.dd}-{counter}, the date being the (UTC) day the
+ * generation was created. A generation only holds documents written before the next one was
+ * created, so its data ends at the latest with the creation day of the next generation.
+ */
+final class RollingIndexGenerations {
+
+  private static final DateTimeFormatter GENERATION_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+
+  private RollingIndexGenerations() {
+  }
+
+  /**
+   * Builds the name of a rolling index generation
+   * @param alias the alias of the rolling index
+   * @param date the (UTC) day the generation is created on
+   * @param counter the generation number
+   * @return the generation name
+   */
+  static String name(String alias, LocalDate date, long counter) {
+    return String.format("%s-%s-%06d", alias, date.format(GENERATION_DATE_FORMAT), counter);
+  }
+
+  /**
+   * Builds the name of the generation following the given one, created today
+   * @param alias the alias of the rolling index
+   * @param generation the current write generation
+   * @return the name of the next generation
+   */
+  static String next(String alias, String generation) {
+    return name(alias, LocalDate.now(ZoneOffset.UTC), counter(alias, generation) + 1);
+  }
+
+  /**
+   * @param alias the alias of the rolling index
+   * @param index the name of an index
+   * @return true, if the index is named as a generation of the alias, false otherwise
+   */
+  static boolean isGeneration(String alias, String index) {
+    return pattern(alias).matcher(index).matches();
+  }
+
+  /**
+   * Keeps the generations of an alias from a list of indices, oldest first
+   * @param alias the alias of the rolling index
+   * @param indices the indices behind the alias
+   * @return the generations sorted by counter, then by date
+   */
+  static List<String> sort(String alias, Collection<String> indices) {
+    return indices.stream()
+        .filter(e -> isGeneration(alias, e))
+        .sorted(Comparator.<String>comparingLong(e -> counter(alias, e))
+            .thenComparing(e -> start(alias, e)))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Selects the generations holding data in a time range
+   * @param alias the alias of the rolling index
+   * @param generations the generations, oldest first
+   * @param from optional, the start of the time range
+   * @param to optional, the end of the time range
+   * @return the generations overlapping the time range
+   */
+  static List<String> overlapping(String alias, List<String> generations, Instant from, Instant to) {
+    List<String> overlapping = new ArrayList<>();
+    for (int i = 0; i < generations.size(); i++) {
+      Instant start = start(alias, generations.get(i));
+      Instant end = i + 1 < generations.size() ? end(alias, generations.get(i + 1)) : null;
+      if ((Objects.isNull(to) || !start.isAfter(to))
+          && (Objects.isNull(end) || Objects.isNull(from) || end.isAfter(from))) {
+        overlapping.add(generations.get(i));
+      }
+    }
+    return overlapping;
+  }
+
+  /**
+   * Selects the generations holding only data older than the cutoff (never the last one)
+   * @param alias the alias of the rolling index
+   * @param generations the generations, oldest first
+   * @param cutoff the retention limit
+   * @return the expired generations
+   */
+  static List<String> expired(String alias, List<String> generations, Instant cutoff) {
+    List<String> expired = new ArrayList<>();
+    for (int i = 0; i + 1 < generations.size(); i++) {
+      if (!end(alias, generations.get(i + 1)).isAfter(cutoff)) {
+        expired.add(generations.get(i));
+      }
+    }
+    return expired;
+  }
+
+  /**
+   * @param alias the alias of the rolling index
+   * @param generation the generation name
+   * @return the generation number
+   */
+  static long counter(String alias, String generation) {
+    return Long.parseLong(matcher(alias, generation).group(2));
+  }
+
+  /**
+   * @param alias the alias of the rolling index
+   * @param generation the generation name
+   * @return the start of the day the generation was created on
+   */
+  static Instant start(String alias, String generation) {
+    return LocalDate.parse(matcher(alias, generation).group(1), GENERATION_DATE_FORMAT)
+        .atStartOfDay(ZoneOffset.UTC).toInstant();
+  }
+
+  /**
+   * @param alias the alias of the rolling index
+   * @param nextGeneration the generation following the one whose end is computed
+   * @return the exclusive upper bound of the data of the previous generation
+   */
+  static Instant end(String alias, String nextGeneration) {
+    return start(alias, nextGeneration).plus(1, ChronoUnit.DAYS);
+  }
+
+  /**
+   * @param alias the alias of the rolling index
+   * @return the pattern matching the generation names, grouping the date and the counter
+   */
+  private static Pattern pattern(String alias) {
+    return Pattern.compile(Pattern.quote(alias) + "-(\\d{4}\\.\\d{2}\\.\\d{2})-(\\d+)");
+  }
+
+  /**
+   * @param alias the alias of the rolling index
+   * @param generation the generation name
+   * @return the matcher for the generation name, throws if the name isn't a generation of the alias
+   */
+  private static Matcher matcher(String alias, String generation) {
+    Matcher matcher = pattern(alias).matcher(generation);
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException("Not a generation of " + alias + ": " + generation);
+    }
+    return matcher;
+  }
+}
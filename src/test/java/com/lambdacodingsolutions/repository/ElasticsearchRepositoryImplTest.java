@@ -3,10 +3,12 @@ package com.lambdacodingsolutions.repository;
 import static org.junit.Assume.assumeNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch.core.InfoResponse;
+import co.elastic.clients.elasticsearch.indices.DeleteAliasRequest;
 import co.elastic.clients.json.JsonData;
 import co.elastic.clients.json.jackson.JacksonJsonpMapper;
 import co.elastic.clients.transport.ElasticsearchTransport;
@@ -19,6 +21,10 @@ import com.sun.org.slf4j.internal.Logger;
 import com.sun.org.slf4j.internal.LoggerFactory;
 import java.io.Closeable;
 import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -63,6 +69,8 @@ public class ElasticsearchRepositoryImplTest {
 
   private static ElasticsearchRepository<Book> bookElasticsearchRepository;
 
+  private static ElasticsearchClient elasticsearchClient;
+
   private static ElasticsearchContainer container;
 
   @BeforeAll
@@ -73,9 +81,9 @@ public class ElasticsearchRepositoryImplTest {
           DockerImageName.parse(DOCKER_IMAGE_NAME).withTag(ES_VERSION))
           .withPassword(PASSWORD);
       container.start();
-      ElasticsearchClient client = initElasticsearchClient(container.getHttpHostAddress());
-      assumeNotNull(client);
-      bookElasticsearchRepository = new ElasticsearchRepositoryImpl(client, Book.class);
+      elasticsearchClient = initElasticsearchClient(container.getHttpHostAddress());
+      assumeNotNull(elasticsearchClient);
+      bookElasticsearchRepository = new ElasticsearchRepositoryImpl(elasticsearchClient, Book.class);
     }
   }
 
@@ -181,6 +189,163 @@ public class ElasticsearchRepositoryImplTest {
 
   }
 
+  @Test
+  void testRolloverBookIndex() throws IOException, InterruptedException {
+    String testAlias = "test-rolling-alias";
+    Book bookToIndex1 = new Book("Frank Herbert", "Dune", 1965l);
+    Book bookToIndex2 = new Book("Mikhail Bulgakov", "The Master and Margarita", 1967l);
+
+    bookElasticsearchRepository.createRollingIndex(testAlias);
+    bookElasticsearchRepository.indexEntity(testAlias, "test-id-1", bookToIndex1);
+
+    Thread.sleep(1000);
+    assertTrue(bookElasticsearchRepository.rollover(testAlias, null, 1l));
+    assertFalse(bookElasticsearchRepository.rollover(testAlias, null, 1l));
+    bookElasticsearchRepository.indexEntity(testAlias, "test-id-2", bookToIndex2);
+
+    Thread.sleep(1000);
+    Instant now = Instant.now();
+    List<Book> allBooks = bookElasticsearchRepository.findByTemplate(testAlias, MATCH_ALL_QUERY, null,
+        now.minus(1, ChronoUnit.HOURS), now);
+    assertEquals(2, allBooks.size());
+
+    allBooks = bookElasticsearchRepository.findByTemplate(testAlias, MATCH_ALL_QUERY, null,
+        now.plus(2, ChronoUnit.DAYS), null);
+    assertEquals(1, allBooks.size());
+    assertEquals(asJson(allBooks.get(0)), asJson(bookToIndex2));
+  }
+
+  @Test
+  void testDeleteExpiredBookIndices() throws IOException, InterruptedException {
+    String testAlias = "test-expiring-alias";
+    bookElasticsearchRepository.createRollingIndex(testAlias);
+    bookElasticsearchRepository.indexEntity(testAlias, "test-id-1", new Book("Herman Hesse", "Steppenwolf", 1929l));
+
+    Thread.sleep(1000);
+    assertTrue(bookElasticsearchRepository.rollover(testAlias, null, null));
+
+    assertEquals(0, bookElasticsearchRepository.deleteExpiredIndices(testAlias, Instant.now()));
+    assertEquals(1, bookElasticsearchRepository.deleteExpiredIndices(testAlias, Instant.now().plus(2, ChronoUnit.DAYS)));
+
+    Thread.sleep(1000);
+    List<Book> allBooks = bookElasticsearchRepository.findByTemplate(testAlias, MATCH_ALL_QUERY, null);
+    assertTrue(allBooks.isEmpty());
+  }
+
+  @Test
+  void testFindBookByTemplateOnDatedGenerations() throws IOException, InterruptedException {
+    String testAlias = "test-dated-alias";
+    String generation1 = RollingIndexGenerations.name(testAlias, LocalDate.of(2020, 1, 1), 1);
+    String generation2 = RollingIndexGenerations.name(testAlias, LocalDate.of(2020, 6, 1), 2);
+    Book bookToIndex1 = new Book("J.R.R. Tolkein", "The Silmarillion", 1977l);
+    Book bookToIndex2 = new Book("Frank Herbert", "Dune", 1965l);
+    Book bookToIndex3 = new Book("Mikhail Bulgakov", "The Master and Margarita", 1967l);
+
+    elasticsearchClient.indices().create(
+        ElasticsearchClientRequestFactory.createCreateRollingIndexRequest(generation1, testAlias, Book.class));
+    bookElasticsearchRepository.indexEntity(testAlias, "test-id-1", bookToIndex1);
+    elasticsearchClient.indices().rollover(
+        ElasticsearchClientRequestFactory.createRolloverRequest(testAlias, generation2, Book.class, null, null));
+    bookElasticsearchRepository.indexEntity(testAlias, "test-id-2", bookToIndex2);
+    assertTrue(bookElasticsearchRepository.rollover(testAlias, null, null));
+    bookElasticsearchRepository.indexEntity(testAlias, "test-id-3", bookToIndex3);
+
+    Thread.sleep(1000);
+    List<Book> books = bookElasticsearchRepository.findByTemplate(testAlias, MATCH_ALL_QUERY, null,
+        Instant.parse("2020-02-01T00:00:00Z"), Instant.parse("2020-03-01T00:00:00Z"));
+    assertEquals(1, books.size());
+    assertEquals(asJson(books.get(0)), asJson(bookToIndex1));
+
+    books = bookElasticsearchRepository.findByTemplate(testAlias, MATCH_ALL_QUERY, null,
+        Instant.parse("2020-06-03T00:00:00Z"), Instant.parse("2020-07-01T00:00:00Z"));
+    assertEquals(1, books.size());
+    assertEquals(asJson(books.get(0)), asJson(bookToIndex2));
+
+    assertEquals(1, bookElasticsearchRepository.deleteExpiredIndices(testAlias, Instant.parse("2020-07-01T00:00:00Z")));
+    assertFalse(bookElasticsearchRepository.indexExists(generation1));
+    assertTrue(bookElasticsearchRepository.indexExists(generation2));
+  }
+
+  @Test
+  void testRolloverBookIndexByAnotherWriter() throws IOException, InterruptedException {
+    String testAlias = "test-shared-alias";
+    ElasticsearchRepositoryImpl<Book> otherWriter = new ElasticsearchRepositoryImpl<>(elasticsearchClient, Book.class);
+    Book bookToIndex1 = new Book("Frank Herbert", "Dune", 1965l);
+    Book bookToIndex2 = new Book("Herman Hesse", "Steppenwolf", 1929l);
+
+    bookElasticsearchRepository.createRollingIndex(testAlias);
+    bookElasticsearchRepository.indexEntity(testAlias, "test-id-1", bookToIndex1);
+    assertTrue(otherWriter.rollover(testAlias, null, null));
+    otherWriter.indexEntity(testAlias, "test-id-2", bookToIndex2);
+
+    Thread.sleep(1000);
+    Instant now = Instant.now();
+    List<Book> books = bookElasticsearchRepository.findByTemplate(testAlias, MATCH_ALL_QUERY, null,
+        now.minus(1, ChronoUnit.HOURS), now);
+    assertEquals(2, books.size());
+
+    assertTrue(bookElasticsearchRepository.rollover(testAlias, null, null));
+    assertTrue(bookElasticsearchRepository.indexExists(
+        RollingIndexGenerations.name(testAlias, LocalDate.now(ZoneOffset.UTC), 3)));
+  }
+
+  @Test
+  void testDeleteBookIndexDeletedByAnotherWriter() throws IOException {
+    String testIndex = "test-index-known";
+    ElasticsearchRepositoryImpl<Book> repository = new ElasticsearchRepositoryImpl<>(elasticsearchClient, Book.class);
+    ElasticsearchRepositoryImpl<Book> otherWriter = new ElasticsearchRepositoryImpl<>(elasticsearchClient, Book.class);
+
+    repository.createIndex(testIndex);
+    assertTrue(otherWriter.deleteIndex(testIndex));
+
+    assertFalse(repository.deleteIndex(testIndex));
+    assertFalse(repository.deleteIndex(testIndex));
+  }
+
+  @Test
+  void testRolloverBookIndexConflict() throws IOException {
+    String testAlias = "test-conflict-alias";
+    String generation1 = RollingIndexGenerations.name(testAlias, LocalDate.now(ZoneOffset.UTC), 1);
+    String generation2 = RollingIndexGenerations.name(testAlias, LocalDate.now(ZoneOffset.UTC), 2);
+
+    bookElasticsearchRepository.createRollingIndex(testAlias);
+    // the next generation was already created by a concurrent writer
+    bookElasticsearchRepository.createIndex(generation2);
+
+    assertFalse(bookElasticsearchRepository.rollover(testAlias, null, null));
+    assertTrue(elasticsearchClient.indices().getAlias(
+        ElasticsearchClientRequestFactory.createGetAliasRequest(testAlias)).result().containsKey(generation1));
+  }
+
+  @Test
+  void testMissingBookAlias() throws IOException {
+    String testAlias = "test-missing-alias";
+    String generation1 = RollingIndexGenerations.name(testAlias, LocalDate.now(ZoneOffset.UTC), 1);
+
+    bookElasticsearchRepository.createRollingIndex(testAlias);
+    elasticsearchClient.indices().deleteAlias(new DeleteAliasRequest.Builder()
+        .index(generation1)
+        .name(testAlias)
+        .build());
+
+    assertThrows(IllegalArgumentException.class,
+        () -> bookElasticsearchRepository.rollover(testAlias, null, null));
+    assertThrows(IllegalArgumentException.class,
+        () -> bookElasticsearchRepository.findByTemplate(testAlias, MATCH_ALL_QUERY, null, null, Instant.now()));
+    assertThrows(IllegalArgumentException.class,
+        () -> bookElasticsearchRepository.deleteExpiredIndices(testAlias, Instant.now()));
+  }
+
+  @Test
+  void testRolloverBookAliasWithoutGenerations() throws IOException {
+    String testAlias = "test-plain-alias";
+    elasticsearchClient.indices().create(
+        ElasticsearchClientRequestFactory.createCreateRollingIndexRequest("test-plain-index", testAlias, Book.class));
+
+    assertThrows(IllegalStateException.class,
+        () -> bookElasticsearchRepository.rollover(testAlias, null, null));
+  }
+
   private static ElasticsearchClient initElasticsearchClient(
       String elasticsearchServiceAddress) {
     try {
@@ -0,0 +1,83 @@
+package com.lambdacodingsolutions.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class RollingIndexGenerationsTest {
+
+  private static final String ALIAS = "events";
+  private static final String GENERATION_1 = "events-2020.01.01-000001";
+  private static final String GENERATION_2 = "events-2020.01.05-000002";
+  private static final String GENERATION_3 = "events-2020.01.10-000003";
+  private static final List<String> GENERATIONS = Arrays.asList(GENERATION_1, GENERATION_2, GENERATION_3);
+
+  @Test
+  void testGenerationName() {
+    assertEquals(GENERATION_2, RollingIndexGenerations.name(ALIAS, LocalDate.of(2020, 1, 5), 2));
+    assertEquals(RollingIndexGenerations.name(ALIAS, LocalDate.now(ZoneOffset.UTC), 4),
+        RollingIndexGenerations.next(ALIAS, GENERATION_3));
+    assertEquals(Instant.parse("2020-01-05T00:00:00Z"), RollingIndexGenerations.start(ALIAS, GENERATION_2));
+    assertEquals(Instant.parse("2020-01-06T00:00:00Z"), RollingIndexGenerations.end(ALIAS, GENERATION_2));
+  }
+
+  @Test
+  void testIsGeneration() {
+    assertTrue(RollingIndexGenerations.isGeneration(ALIAS, GENERATION_1));
+    assertFalse(RollingIndexGenerations.isGeneration(ALIAS, "events"));
+    assertFalse(RollingIndexGenerations.isGeneration(ALIAS, "other-2020.01.01-000001"));
+    assertFalse(RollingIndexGenerations.isGeneration(ALIAS, "events-audit-2020.01.01-000001"));
+    assertThrows(IllegalArgumentException.class, () -> RollingIndexGenerations.counter(ALIAS, "events"));
+  }
+
+  @Test
+  void testSortGenerations() {
+    String sameCounterLaterDate = "events-2020.01.07-000002";
+    List<String> indices = Arrays.asList(GENERATION_3, "events", sameCounterLaterDate, GENERATION_1, GENERATION_2);
+
+    assertEquals(Arrays.asList(GENERATION_1, GENERATION_2, sameCounterLaterDate, GENERATION_3),
+        RollingIndexGenerations.sort(ALIAS, indices));
+    assertEquals(Arrays.asList(GENERATION_1, GENERATION_2, sameCounterLaterDate, GENERATION_3),
+        RollingIndexGenerations.sort(ALIAS, Arrays.asList(sameCounterLaterDate, GENERATION_2, GENERATION_3, GENERATION_1)));
+  }
+
+  @Test
+  void testOverlappingGenerations() {
+    assertEquals(GENERATIONS, RollingIndexGenerations.overlapping(ALIAS, GENERATIONS, null, null));
+    assertEquals(Arrays.asList(GENERATION_1),
+        RollingIndexGenerations.overlapping(ALIAS, GENERATIONS, null, Instant.parse("2020-01-04T23:59:59Z")));
+    assertEquals(Arrays.asList(GENERATION_1, GENERATION_2),
+        RollingIndexGenerations.overlapping(ALIAS, GENERATIONS, null, Instant.parse("2020-01-05T00:00:00Z")));
+    // the first generation may hold data written on the day the second one was created
+    assertEquals(Arrays.asList(GENERATION_1, GENERATION_2),
+        RollingIndexGenerations.overlapping(ALIAS, GENERATIONS,
+            Instant.parse("2020-01-05T12:00:00Z"), Instant.parse("2020-01-08T00:00:00Z")));
+    assertEquals(Arrays.asList(GENERATION_2, GENERATION_3),
+        RollingIndexGenerations.overlapping(ALIAS, GENERATIONS, Instant.parse("2020-01-06T00:00:00Z"), null));
+    assertEquals(Arrays.asList(GENERATION_3),
+        RollingIndexGenerations.overlapping(ALIAS, GENERATIONS, Instant.parse("2020-02-01T00:00:00Z"), null));
+    assertEquals(Collections.emptyList(),
+        RollingIndexGenerations.overlapping(ALIAS, GENERATIONS, null, Instant.parse("2019-12-31T00:00:00Z")));
+  }
+
+  @Test
+  void testExpiredGenerations() {
+    assertEquals(Collections.emptyList(),
+        RollingIndexGenerations.expired(ALIAS, GENERATIONS, Instant.parse("2020-01-05T23:59:59Z")));
+    assertEquals(Arrays.asList(GENERATION_1),
+        RollingIndexGenerations.expired(ALIAS, GENERATIONS, Instant.parse("2020-01-06T00:00:00Z")));
+    assertEquals(Arrays.asList(GENERATION_1, GENERATION_2),
+        RollingIndexGenerations.expired(ALIAS, GENERATIONS, Instant.parse("2020-01-11T00:00:00Z")));
+    assertEquals(Arrays.asList(GENERATION_1, GENERATION_2),
+        RollingIndexGenerations.expired(ALIAS, GENERATIONS, Instant.parse("2030-01-01T00:00:00Z")));
+  }
+}